@@ -1,6 +1,7 @@
 package com.lucidity.tests;
 
-import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
 import org.mockserver.integration.ClientAndServer;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
@@ -15,18 +16,42 @@ import org.testng.annotations.BeforeMethod;
 public class BaseTest {
     
     protected ClientAndServer mockServer;
-    protected String baseUrl = "http://localhost:8080";
+    protected int port;
+    protected String baseUrl;
+    protected RequestSpecification requestSpec;
+    
+    /**
+     * Default constructor - Uses -Dmockserver.port, or 8080 when not set
+     */
+    public BaseTest() {
+        this(Integer.getInteger("mockserver.port", 8080));
+    }
+    
+    /**
+     * Constructor for subclasses that need their own server
+     * Each instance gets its own port and base URI, so several
+     * instances can run side by side in one JVM
+     * 
+     * @param port - MockServer port, or 0 to pick a free port
+     */
+    protected BaseTest(int port) {
+        this.port = port;
+    }
     
     /**
      * Setup method - Runs once before all tests
-     * Starts the MockServer and configures REST Assured base URI
+     * Starts the MockServer and builds this instance's REST Assured request spec
      */
     @BeforeClass
     public void setup() {
-        mockServer = ClientAndServer.startClientAndServer(8080);
-        RestAssured.baseURI = baseUrl;
+        mockServer = port == 0
+            ? ClientAndServer.startClientAndServer()
+            : ClientAndServer.startClientAndServer(port);
+        port = mockServer.getPort();
+        baseUrl = "http://localhost:" + port;
+        requestSpec = new RequestSpecBuilder().setBaseUri(baseUrl).build();
         System.out.println("========================================");
-        System.out.println("Mock server started on port 8080");
+        System.out.println("Mock server started on port " + port);
         System.out.println("========================================\n");
     }
     
@@ -0,0 +1,70 @@
+package com.lucidity.tests;
+
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Test class for BaseTest server isolation
+ * Verifies that several BaseTest instances can run side by side in one JVM,
+ * each with its own MockServer port and REST Assured request spec
+ */
+@Epic("Zomato Cart Offer System")
+@Feature("Test Infrastructure")
+public class BaseTestIsolationTest {
+
+    /**
+     * Verify two in-JVM BaseTest instances are isolated
+     *
+     * Description: Each instance starts its own MockServer on a free port.
+     * Requests sent through one instance's requestSpec must only reach that
+     * instance's mocks
+     *
+     * Test Steps:
+     * 1. Start two BaseTest instances on free ports
+     * 2. Mock user 1 as P1 on the first server and as P2 on the second
+     * 3. Query /api/v1/user_segment through each instance's requestSpec
+     * 4. Verify different ports and that each instance sees only its own mock
+     *
+     * Expected Result: First instance returns p1, second instance returns p2
+     */
+    @Test(description = "Verify two BaseTest instances run isolated in one JVM")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Multi-Node Setup")
+    public void testTwoInstancesAreIsolated() {
+        System.out.println("\n--- Two BaseTest Instances In One JVM ---");
+
+        BaseTest nodeA = new BaseTest(0);
+        BaseTest nodeB = new BaseTest(0);
+        nodeA.setup();
+        try {
+            nodeB.setup();
+            try {
+                Assert.assertNotEquals(nodeA.port, nodeB.port, "Instances should bind different ports");
+                System.out.println("✓ Ports: node A=" + nodeA.port + ", node B=" + nodeB.port);
+
+                nodeA.createUserSegmentMock(1, "p1");
+                nodeB.createUserSegmentMock(1, "p2");
+                System.out.println("✓ User segment mocks created: node A -> P1, node B -> P2");
+
+                Response responseA = given(nodeA.requestSpec)
+                    .queryParam("user_id", 1)
+                    .get("/api/v1/user_segment");
+                Response responseB = given(nodeB.requestSpec)
+                    .queryParam("user_id", 1)
+                    .get("/api/v1/user_segment");
+
+                Assert.assertEquals(responseA.jsonPath().getString("segment"), "p1", "Node A should see only its own mock");
+                Assert.assertEquals(responseB.jsonPath().getString("segment"), "p2", "Node B should see only its own mock");
+                System.out.println("✓ Verification: node A=p1, node B=p2 -> PASSED\n");
+            } finally {
+                nodeB.teardown();
+            }
+        } finally {
+            nodeA.teardown();
+        }
+    }
+}
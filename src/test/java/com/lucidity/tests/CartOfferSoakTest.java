@@ -0,0 +1,330 @@
+package com.lucidity.tests;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetric;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Soak test for Zomato Cart Offer API
+ * Repeatedly cycles all CartOfferTest scenarios against one long-lived
+ * MockServer and tracks heap after GC, GC time, Netty buffer usage
+ * and thread count over time
+ *
+ * Requires a live offer service behind /api/v1/offer and /api/v1/cart/apply_offer;
+ * MockServer only stubs /api/v1/user_segment, so without one every scenario fails
+ *
+ * All metrics are sampled from this test JVM, which hosts MockServer and the
+ * REST Assured client. They do not cover the offer service process, so this
+ * finds leaks in the harness and MockServer, not in the apply_offer nodes
+ *
+ * Not part of the default suite. Run with:
+ * mvn test -Psoak -Dsoak.duration.minutes=240 -Dsoak.sample.interval.seconds=60
+ */
+@Epic("Zomato Cart Offer System")
+@Feature("Cart Offer API Soak")
+public class CartOfferSoakTest extends BaseTest {
+
+    private static final long DURATION_MINUTES = Long.getLong("soak.duration.minutes", 60);
+    private static final long SAMPLE_INTERVAL_SECONDS = Long.getLong("soak.sample.interval.seconds", 30);
+
+    // Each series is split into windows; growth is only flagged when every window's floor rises
+    private static final int GROWTH_WINDOWS = 4;
+    private static final double GROWTH_TOLERANCE = 0.10;
+    private static final int THREAD_GROWTH_LIMIT = 2;
+
+    // Sample columns
+    private static final int ELAPSED = 0;
+    private static final int HEAP = 1;
+    private static final int GC_TIME = 2;
+    private static final int NETTY = 3;
+    private static final int THREADS = 4;
+
+    private static final String[] METRIC_NAMES = {
+        "Elapsed", "Heap after GC", "GC time", "Netty buffer usage", "Thread count"
+    };
+    private static final String[] METRIC_UNITS = { "s", "MB", "ms", "MB", "threads" };
+
+    private final List<double[]> samples = new ArrayList<>();
+    private long lastGcTimeMillis;
+
+    /**
+     * SOAK TEST: Cycle all cart offer scenarios for a configured duration
+     *
+     * Description: Leaks in the offer flow only surface after long uptime.
+     * This test runs every CartOfferTest scenario in priority order, over and
+     * over, against the same MockServer and samples JVM health at a fixed interval
+     *
+     * Test Steps:
+     * 1. Run all CartOfferTest scenarios in a loop until the duration elapses
+     * 2. Sample heap after GC, GC time, Netty buffers and threads each interval
+     * 3. Attach CSV data and SVG charts to the Allure report
+     * 4. Verify no scenario failed and heap, Netty buffers and threads do not grow monotonically
+     *
+     * GC time is total collection time from GarbageCollectorMXBean, not
+     * stop-the-world pause time; on concurrent collectors it includes
+     * concurrent cycles. It is charted but not asserted: it follows
+     * allocation rate and collector heuristics, and a leak behind rising
+     * GC time already shows up as heap growth
+     *
+     * Expected Result: All scenarios pass and heap, Netty buffers and threads stay flat
+     */
+    @Test(description = "Verify cart offer scenarios stay healthy over a long run")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Soak Testing")
+    public void testSoakCartOfferScenarios() throws Exception {
+        System.out.println("\n--- SOAK TEST: " + DURATION_MINUTES + " minutes, sampling every "
+            + SAMPLE_INTERVAL_SECONDS + "s ---");
+
+        // Share this class's long-lived server with the scenarios
+        CartOfferTest scenarios = new CartOfferTest();
+        scenarios.mockServer = mockServer;
+        scenarios.requestSpec = requestSpec;
+        List<Method> scenarioMethods = findScenarios();
+        System.out.println("✓ Scenarios loaded: " + scenarioMethods.size());
+
+        long start = System.nanoTime();
+        long deadline = start + DURATION_MINUTES * 60_000_000_000L;
+        long intervalNanos = SAMPLE_INTERVAL_SECONDS * 1_000_000_000L;
+        long nextSample = start;
+        long cycles = 0;
+        long failures = 0;
+        String firstFailure = null;
+
+        // Scenario output is muted; only one summary line per sample is printed
+        PrintStream console = System.out;
+        PrintStream muted = new PrintStream(OutputStream.nullOutputStream());
+        lastGcTimeMillis = totalGcTimeMillis();
+        while (System.nanoTime() < deadline) {
+            System.setOut(muted);
+            try {
+                for (Method scenario : scenarioMethods) {
+                    scenarios.resetMocks();
+                    try {
+                        scenario.invoke(scenarios);
+                    } catch (InvocationTargetException e) {
+                        failures++;
+                        if (firstFailure == null) {
+                            firstFailure = scenario.getName() + ": " + e.getCause();
+                        }
+                    }
+                }
+            } finally {
+                System.setOut(console);
+            }
+            cycles++;
+
+            long now = System.nanoTime();
+            if (now >= nextSample) {
+                sample((now - start) / 1_000_000_000.0);
+                printSample(cycles, failures);
+                nextSample = now + intervalNanos;
+            }
+        }
+        sample((System.nanoTime() - start) / 1_000_000_000.0);
+        printSample(cycles, failures);
+        System.out.println("✓ Cycles completed: " + cycles + ", samples taken: " + samples.size());
+
+        attachResults();
+
+        assertNoMonotonicGrowth(HEAP);
+        assertNoMonotonicGrowth(NETTY);
+        assertNoMonotonicGrowth(THREADS);
+        Assert.assertEquals(failures, 0, "Scenario failures during soak, first: " + firstFailure);
+        System.out.println("✓ Verification: No failures and no monotonic growth -> PASSED\n");
+    }
+
+    /**
+     * Helper method to collect CartOfferTest scenarios in priority order
+     *
+     * @return - Test methods declared on CartOfferTest
+     */
+    private List<Method> findScenarios() {
+        List<Method> methods = new ArrayList<>();
+        for (Method method : CartOfferTest.class.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                methods.add(method);
+            }
+        }
+        methods.sort(Comparator.comparingInt(m -> m.getAnnotation(Test.class).priority()));
+        return methods;
+    }
+
+    /**
+     * Helper method to record one sample of JVM health
+     * GC time is read before the forced GC so it only covers the soak workload
+     *
+     * @param elapsedSeconds - Seconds since the soak started
+     */
+    private void sample(double elapsedSeconds) {
+        long gcTimeMillis = totalGcTimeMillis();
+        double gcTime = gcTimeMillis - lastGcTimeMillis;
+
+        System.gc();
+        lastGcTimeMillis = totalGcTimeMillis();
+
+        // Order matches the ELAPSED..THREADS column constants
+        samples.add(new double[] {
+            elapsedSeconds,
+            toMb(heapAfterGcBytes()),
+            gcTime,
+            toMb(nettyUsedBytes()),
+            ManagementFactory.getThreadMXBean().getThreadCount()
+        });
+    }
+
+    /**
+     * Helper method to print the latest sample as one summary line
+     *
+     * @param cycles - Scenario cycles completed so far
+     * @param failures - Scenario failures so far
+     */
+    private void printSample(long cycles, long failures) {
+        double[] sample = samples.get(samples.size() - 1);
+        System.out.println(String.format(Locale.ROOT,
+            "✓ %.0fs: cycles=%d, failures=%d, heap=%.1fMB, gc=%.0fms, netty=%.1fMB, threads=%.0f",
+            sample[ELAPSED], cycles, failures, sample[HEAP], sample[GC_TIME], sample[NETTY], sample[THREADS]));
+    }
+
+    private static long totalGcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(gc.getCollectionTime(), 0);
+        }
+        return total;
+    }
+
+    private static long heapAfterGcBytes() {
+        long total = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && usage != null) {
+                total += usage.getUsed();
+            }
+        }
+        return total;
+    }
+
+    private static long nettyUsedBytes() {
+        if (!(ByteBufAllocator.DEFAULT instanceof ByteBufAllocatorMetricProvider)) {
+            return 0;
+        }
+        ByteBufAllocatorMetric metric = ((ByteBufAllocatorMetricProvider) ByteBufAllocator.DEFAULT).metric();
+        return metric.usedDirectMemory() + metric.usedHeapMemory();
+    }
+
+    private static double toMb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    /**
+     * Helper method to fail when a metric's floor rises in every window
+     * Windows use their minimum so short spikes between GCs are ignored
+     * MB metrics must also grow by more than GROWTH_TOLERANCE overall; threads
+     * use THREAD_GROWTH_LIMIT instead, since one leaked thread per window is
+     * small relative to the total but still a leak
+     *
+     * @param metric - Sample column, one of HEAP, NETTY or THREADS
+     */
+    private void assertNoMonotonicGrowth(int metric) {
+        String name = METRIC_NAMES[metric];
+        if (samples.size() < GROWTH_WINDOWS * 2) {
+            System.out.println("✓ " + name + ": too few samples for growth check, skipped");
+            return;
+        }
+
+        double[] floors = new double[GROWTH_WINDOWS];
+        Arrays.fill(floors, Double.MAX_VALUE);
+        for (int i = 0; i < samples.size(); i++) {
+            int window = i * GROWTH_WINDOWS / samples.size();
+            floors[window] = Math.min(floors[window], samples.get(i)[metric]);
+        }
+
+        boolean rising = true;
+        for (int i = 1; i < floors.length; i++) {
+            rising &= floors[i] > floors[i - 1];
+        }
+        double first = floors[0];
+        double last = floors[floors.length - 1];
+        boolean grown = metric == THREADS
+            ? last - first > THREAD_GROWTH_LIMIT
+            : last > first * (1 + GROWTH_TOLERANCE);
+        Assert.assertFalse(rising && grown,
+            name + " grows monotonically across windows: " + Arrays.toString(floors));
+        System.out.println("✓ " + name + " floors per window: " + Arrays.toString(floors));
+    }
+
+    /**
+     * Helper method to attach raw samples and one chart per metric to Allure
+     */
+    private void attachResults() {
+        StringBuilder csv = new StringBuilder("elapsed_seconds,heap_after_gc_mb,gc_time_ms,netty_used_mb,thread_count\n");
+        for (double[] sample : samples) {
+            for (int i = 0; i < sample.length; i++) {
+                csv.append(i == 0 ? "" : ",").append(String.format(Locale.ROOT, "%.2f", sample[i]));
+            }
+            csv.append('\n');
+        }
+        Allure.addAttachment("Soak samples", "text/csv", csv.toString(), "csv");
+
+        for (int metric = HEAP; metric <= THREADS; metric++) {
+            Allure.addAttachment(METRIC_NAMES[metric], "image/svg+xml", toSvgChart(metric), "svg");
+        }
+    }
+
+    /**
+     * Helper method to render one metric as an SVG line chart over time
+     *
+     * @param metric - Sample column, one of HEAP..THREADS
+     * @return - SVG document
+     */
+    private String toSvgChart(int metric) {
+        int width = 800;
+        int height = 300;
+        int pad = 50;
+
+        double maxX = 1;
+        double maxY = 1;
+        for (double[] sample : samples) {
+            maxX = Math.max(maxX, sample[ELAPSED]);
+            maxY = Math.max(maxY, sample[metric]);
+        }
+
+        StringBuilder points = new StringBuilder();
+        for (double[] sample : samples) {
+            double x = pad + sample[ELAPSED] / maxX * (width - 2 * pad);
+            double y = height - pad - sample[metric] / maxY * (height - 2 * pad);
+            points.append(String.format(Locale.ROOT, "%.1f,%.1f ", x, y));
+        }
+
+        return "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height + "\">"
+            + "<rect width=\"100%\" height=\"100%\" fill=\"white\"/>"
+            + "<text x=\"" + pad + "\" y=\"25\" font-family=\"sans-serif\" font-size=\"16\">"
+            + METRIC_NAMES[metric] + " (" + METRIC_UNITS[metric] + ")</text>"
+            + "<line x1=\"" + pad + "\" y1=\"" + (height - pad) + "\" x2=\"" + (width - pad) + "\" y2=\"" + (height - pad) + "\" stroke=\"black\"/>"
+            + "<line x1=\"" + pad + "\" y1=\"" + pad + "\" x2=\"" + pad + "\" y2=\"" + (height - pad) + "\" stroke=\"black\"/>"
+            + "<text x=\"5\" y=\"" + (pad + 5) + "\" font-family=\"sans-serif\" font-size=\"12\">"
+            + String.format(Locale.ROOT, "%.1f", maxY) + "</text>"
+            + "<text x=\"" + (width - pad) + "\" y=\"" + (height - pad + 20) + "\" font-family=\"sans-serif\" font-size=\"12\" text-anchor=\"end\">"
+            + String.format(Locale.ROOT, "%.0fs", maxX) + "</text>"
+            + "<polyline fill=\"none\" stroke=\"steelblue\" stroke-width=\"2\" points=\"" + points.toString().trim() + "\"/>"
+            + "</svg>";
+    }
+}
@@ -10,7 +10,7 @@ import static io.restassured.RestAssured.given;
 
 /**
  * Test class for Zomato Cart Offer API
- * Contains 15 comprehensive test cases covering various scenarios
+ * Contains 16 comprehensive test cases covering various scenarios
  * 
  * @author Your Name
  * @date December 2024
@@ -45,7 +45,7 @@ public class CartOfferTest extends BaseTest {
         
         // Step 2: Create offer
         String offerPayload = "{\"restaurant_id\":1,\"offer_type\":\"FLATX\",\"offer_value\":10,\"customer_segment\":[\"p1\"]}";
-        given()
+        given(requestSpec)
             .contentType(ContentType.JSON)
             .body(offerPayload)
             .when()
@@ -56,7 +56,7 @@ public class CartOfferTest extends BaseTest {
         
         // Step 3: Apply offer to cart
         String cartPayload = "{\"cart_value\":200,\"user_id\":1,\"restaurant_id\":1}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(cartPayload)
             .when()
@@ -96,7 +96,7 @@ public class CartOfferTest extends BaseTest {
         
         // Create 10% discount offer
         String offerPayload = "{\"restaurant_id\":1,\"offer_type\":\"FLAT%\",\"offer_value\":10,\"customer_segment\":[\"p1\"]}";
-        given()
+        given(requestSpec)
             .contentType(ContentType.JSON)
             .body(offerPayload)
             .post("/api/v1/offer");
@@ -104,7 +104,7 @@ public class CartOfferTest extends BaseTest {
         
         // Apply offer
         String cartPayload = "{\"cart_value\":200,\"user_id\":1,\"restaurant_id\":1}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(cartPayload)
             .post("/api/v1/cart/apply_offer")
@@ -143,7 +143,7 @@ public class CartOfferTest extends BaseTest {
         
         // Create offer for P2 with Rs.20 off
         String offerPayload = "{\"restaurant_id\":1,\"offer_type\":\"FLATX\",\"offer_value\":20,\"customer_segment\":[\"p2\"]}";
-        given()
+        given(requestSpec)
             .contentType(ContentType.JSON)
             .body(offerPayload)
             .post("/api/v1/offer");
@@ -151,7 +151,7 @@ public class CartOfferTest extends BaseTest {
         
         // Apply offer
         String cartPayload = "{\"cart_value\":300,\"user_id\":2,\"restaurant_id\":1}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(cartPayload)
             .post("/api/v1/cart/apply_offer")
@@ -189,7 +189,7 @@ public class CartOfferTest extends BaseTest {
         
         // Create 15% discount for P3
         String offerPayload = "{\"restaurant_id\":1,\"offer_type\":\"FLAT%\",\"offer_value\":15,\"customer_segment\":[\"p3\"]}";
-        given()
+        given(requestSpec)
             .contentType(ContentType.JSON)
             .body(offerPayload)
             .post("/api/v1/offer");
@@ -197,7 +197,7 @@ public class CartOfferTest extends BaseTest {
         
         // Apply offer
         String cartPayload = "{\"cart_value\":500,\"user_id\":3,\"restaurant_id\":1}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(cartPayload)
             .post("/api/v1/cart/apply_offer")
@@ -237,7 +237,7 @@ public class CartOfferTest extends BaseTest {
         
         // But offer is for P2 only
         String offerPayload = "{\"restaurant_id\":1,\"offer_type\":\"FLATX\",\"offer_value\":10,\"customer_segment\":[\"p2\"]}";
-        given()
+        given(requestSpec)
             .contentType(ContentType.JSON)
             .body(offerPayload)
             .post("/api/v1/offer");
@@ -245,7 +245,7 @@ public class CartOfferTest extends BaseTest {
         
         // Try to apply offer
         String cartPayload = "{\"cart_value\":200,\"user_id\":1,\"restaurant_id\":1}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(cartPayload)
             .post("/api/v1/cart/apply_offer")
@@ -283,7 +283,7 @@ public class CartOfferTest extends BaseTest {
         
         // Create offer for both P1 and P2
         String offerPayload = "{\"restaurant_id\":1,\"offer_type\":\"FLATX\",\"offer_value\":15,\"customer_segment\":[\"p1\",\"p2\"]}";
-        given()
+        given(requestSpec)
             .contentType(ContentType.JSON)
             .body(offerPayload)
             .post("/api/v1/offer");
@@ -291,7 +291,7 @@ public class CartOfferTest extends BaseTest {
         
         // P1 user applies offer
         String cartPayload = "{\"cart_value\":200,\"user_id\":1,\"restaurant_id\":1}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(cartPayload)
             .post("/api/v1/cart/apply_offer")
@@ -328,7 +328,7 @@ public class CartOfferTest extends BaseTest {
         
         // Create offer for restaurant 1
         String offerPayload = "{\"restaurant_id\":1,\"offer_type\":\"FLATX\",\"offer_value\":10,\"customer_segment\":[\"p1\"]}";
-        given()
+        given(requestSpec)
             .contentType(ContentType.JSON)
             .body(offerPayload)
             .post("/api/v1/offer");
@@ -336,7 +336,7 @@ public class CartOfferTest extends BaseTest {
         
         // Try to use offer at restaurant 2
         String cartPayload = "{\"cart_value\":200,\"user_id\":1,\"restaurant_id\":2}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(cartPayload)
             .post("/api/v1/cart/apply_offer")
@@ -374,7 +374,7 @@ public class CartOfferTest extends BaseTest {
         
         // Create large discount
         String offerPayload = "{\"restaurant_id\":1,\"offer_type\":\"FLATX\",\"offer_value\":300,\"customer_segment\":[\"p1\"]}";
-        given()
+        given(requestSpec)
             .contentType(ContentType.JSON)
             .body(offerPayload)
             .post("/api/v1/offer");
@@ -382,7 +382,7 @@ public class CartOfferTest extends BaseTest {
         
         // Apply to smaller cart
         String cartPayload = "{\"cart_value\":200,\"user_id\":1,\"restaurant_id\":1}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(cartPayload)
             .post("/api/v1/cart/apply_offer")
@@ -419,14 +419,14 @@ public class CartOfferTest extends BaseTest {
         
         // Create 100% discount
         String offerPayload = "{\"restaurant_id\":1,\"offer_type\":\"FLAT%\",\"offer_value\":100,\"customer_segment\":[\"p1\"]}";
-        given()
+        given(requestSpec)
             .contentType(ContentType.JSON)
             .body(offerPayload)
             .post("/api/v1/offer");
         System.out.println("✓ Offer created: 100% off");
         
         String cartPayload = "{\"cart_value\":200,\"user_id\":1,\"restaurant_id\":1}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(cartPayload)
             .post("/api/v1/cart/apply_offer")
@@ -457,7 +457,7 @@ public class CartOfferTest extends BaseTest {
         System.out.println("\n--- TEST 10: Offer Creation API Response ---");
         
         String offerPayload = "{\"restaurant_id\":1,\"offer_type\":\"FLATX\",\"offer_value\":10,\"customer_segment\":[\"p1\"]}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(offerPayload)
             .when()
@@ -497,17 +497,17 @@ public class CartOfferTest extends BaseTest {
         
         // Create first offer
         String offer1 = "{\"restaurant_id\":1,\"offer_type\":\"FLATX\",\"offer_value\":10,\"customer_segment\":[\"p1\"]}";
-        given().contentType(ContentType.JSON).body(offer1).post("/api/v1/offer");
+        given(requestSpec).contentType(ContentType.JSON).body(offer1).post("/api/v1/offer");
         System.out.println("✓ First offer created: Rs.10 off");
         
         // Create second offer
         String offer2 = "{\"restaurant_id\":1,\"offer_type\":\"FLATX\",\"offer_value\":25,\"customer_segment\":[\"p1\"]}";
-        given().contentType(ContentType.JSON).body(offer2).post("/api/v1/offer");
+        given(requestSpec).contentType(ContentType.JSON).body(offer2).post("/api/v1/offer");
         System.out.println("✓ Second offer created: Rs.25 off");
         
         // Apply offer
         String cartPayload = "{\"cart_value\":200,\"user_id\":1,\"restaurant_id\":1}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(cartPayload)
             .post("/api/v1/cart/apply_offer")
@@ -543,11 +543,11 @@ public class CartOfferTest extends BaseTest {
         System.out.println("✓ User segment mock created: User 1 -> P1");
         
         String offerPayload = "{\"restaurant_id\":1,\"offer_type\":\"FLATX\",\"offer_value\":10.50,\"customer_segment\":[\"p1\"]}";
-        given().contentType(ContentType.JSON).body(offerPayload).post("/api/v1/offer");
+        given(requestSpec).contentType(ContentType.JSON).body(offerPayload).post("/api/v1/offer");
         System.out.println("✓ Offer created: Rs.10.50 off");
         
         String cartPayload = "{\"cart_value\":199.99,\"user_id\":1,\"restaurant_id\":1}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(cartPayload)
             .post("/api/v1/cart/apply_offer")
@@ -585,11 +585,11 @@ public class CartOfferTest extends BaseTest {
         
         // Create 5% discount
         String offerPayload = "{\"restaurant_id\":1,\"offer_type\":\"FLAT%\",\"offer_value\":5,\"customer_segment\":[\"p2\"]}";
-        given().contentType(ContentType.JSON).body(offerPayload).post("/api/v1/offer");
+        given(requestSpec).contentType(ContentType.JSON).body(offerPayload).post("/api/v1/offer");
         System.out.println("✓ Offer created: 5% off");
         
         String cartPayload = "{\"cart_value\":200,\"user_id\":2,\"restaurant_id\":1}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(cartPayload)
             .post("/api/v1/cart/apply_offer")
@@ -625,11 +625,11 @@ public class CartOfferTest extends BaseTest {
         System.out.println("✓ User segment mock created: User 3 -> P3");
         
         String offerPayload = "{\"restaurant_id\":1,\"offer_type\":\"FLAT%\",\"offer_value\":20,\"customer_segment\":[\"p3\"]}";
-        given().contentType(ContentType.JSON).body(offerPayload).post("/api/v1/offer");
+        given(requestSpec).contentType(ContentType.JSON).body(offerPayload).post("/api/v1/offer");
         System.out.println("✓ Offer created: 20% off for large cart");
         
         String cartPayload = "{\"cart_value\":5000,\"user_id\":3,\"restaurant_id\":1}";
-        Response response = given()
+        Response response = given(requestSpec)
             .contentType(ContentType.JSON)
             .body(cartPayload)
             .post("/api/v1/cart/apply_offer")
@@ -665,32 +665,95 @@ public class CartOfferTest extends BaseTest {
         String offerP2 = "{\"restaurant_id\":1,\"offer_type\":\"FLATX\",\"offer_value\":15,\"customer_segment\":[\"p2\"]}";
         String offerP3 = "{\"restaurant_id\":1,\"offer_type\":\"FLAT%\",\"offer_value\":20,\"customer_segment\":[\"p3\"]}";
         
-        given().contentType(ContentType.JSON).body(offerP1).post("/api/v1/offer");
-        given().contentType(ContentType.JSON).body(offerP2).post("/api/v1/offer");
-        given().contentType(ContentType.JSON).body(offerP3).post("/api/v1/offer");
+        given(requestSpec).contentType(ContentType.JSON).body(offerP1).post("/api/v1/offer");
+        given(requestSpec).contentType(ContentType.JSON).body(offerP2).post("/api/v1/offer");
+        given(requestSpec).contentType(ContentType.JSON).body(offerP3).post("/api/v1/offer");
         System.out.println("✓ Offers created for all segments");
         
         // Test P1
         createUserSegmentMock(1, "p1");
         String cartP1 = "{\"cart_value\":200,\"user_id\":1,\"restaurant_id\":1}";
-        Response responseP1 = given().contentType(ContentType.JSON).body(cartP1).post("/api/v1/cart/apply_offer").then().extract().response();
+        Response responseP1 = given(requestSpec).contentType(ContentType.JSON).body(cartP1).post("/api/v1/cart/apply_offer").then().extract().response();
         Assert.assertEquals(responseP1.jsonPath().getDouble("cart_value"), 190.0);
         System.out.println("✓ P1 verification passed: 200 - 10 = 190");
         
         // Test P2
         createUserSegmentMock(2, "p2");
         String cartP2 = "{\"cart_value\":200,\"user_id\":2,\"restaurant_id\":1}";
-        Response responseP2 = given().contentType(ContentType.JSON).body(cartP2).post("/api/v1/cart/apply_offer").then().extract().response();
+        Response responseP2 = given(requestSpec).contentType(ContentType.JSON).body(cartP2).post("/api/v1/cart/apply_offer").then().extract().response();
         Assert.assertEquals(responseP2.jsonPath().getDouble("cart_value"), 185.0);
         System.out.println("✓ P2 verification passed: 200 - 15 = 185");
         
         // Test P3
         createUserSegmentMock(3, "p3");
         String cartP3 = "{\"cart_value\":200,\"user_id\":3,\"restaurant_id\":1}";
-        Response responseP3 = given().contentType(ContentType.JSON).body(cartP3).post("/api/v1/cart/apply_offer").then().extract().response();
+        Response responseP3 = given(requestSpec).contentType(ContentType.JSON).body(cartP3).post("/api/v1/cart/apply_offer").then().extract().response();
         Assert.assertEquals(responseP3.jsonPath().getDouble("cart_value"), 160.0);
         System.out.println("✓ P3 verification passed: 200 - 40 = 160");
         
         System.out.println("✓ All segments integration test -> PASSED\n");
     }
+    
+    /**
+     * TEST CASE 16: Verify new offer for one segment does not affect other segments
+     * 
+     * Description: Tests that adding an offer for one segment changes the
+     * cart value for that segment only, while other segments keep their pricing
+     * 
+     * Test Steps:
+     * 1. Create offers for P1 and P3 only and apply them to one cart per segment
+     * 2. Verify P2 cart has no discount (no P2 offer yet)
+     * 3. Create a Rs.30 off offer for P2
+     * 4. Apply offers to all three carts again
+     * 5. Verify P2 cart gets the new discount and P1/P3 carts are unchanged
+     * 
+     * Expected Result: Before: P1=190, P2=200, P3=160; After: P1=190, P2=170, P3=160
+     */
+    @Test(priority = 16, description = "Verify new offer for one segment does not affect other segments")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Integration Testing")
+    public void testNewOfferDoesNotAffectOtherSegments() {
+        System.out.println("\n--- TEST 16: New Offer Does Not Affect Other Segments ---");
+        
+        // Create offers for P1 and P3 only
+        String offerP1 = "{\"restaurant_id\":1,\"offer_type\":\"FLATX\",\"offer_value\":10,\"customer_segment\":[\"p1\"]}";
+        String offerP3 = "{\"restaurant_id\":1,\"offer_type\":\"FLAT%\",\"offer_value\":20,\"customer_segment\":[\"p3\"]}";
+        
+        given(requestSpec).contentType(ContentType.JSON).body(offerP1).post("/api/v1/offer");
+        given(requestSpec).contentType(ContentType.JSON).body(offerP3).post("/api/v1/offer");
+        System.out.println("✓ Offers created for P1 and P3");
+        
+        createUserSegmentMock(1, "p1");
+        createUserSegmentMock(2, "p2");
+        createUserSegmentMock(3, "p3");
+        String cartP1 = "{\"cart_value\":200,\"user_id\":1,\"restaurant_id\":1}";
+        String cartP2 = "{\"cart_value\":200,\"user_id\":2,\"restaurant_id\":1}";
+        String cartP3 = "{\"cart_value\":200,\"user_id\":3,\"restaurant_id\":1}";
+        
+        // Apply offers before the P2 offer exists
+        Response beforeP1 = given(requestSpec).contentType(ContentType.JSON).body(cartP1).post("/api/v1/cart/apply_offer").then().extract().response();
+        Response beforeP2 = given(requestSpec).contentType(ContentType.JSON).body(cartP2).post("/api/v1/cart/apply_offer").then().extract().response();
+        Response beforeP3 = given(requestSpec).contentType(ContentType.JSON).body(cartP3).post("/api/v1/cart/apply_offer").then().extract().response();
+        Assert.assertEquals(beforeP1.jsonPath().getDouble("cart_value"), 190.0);
+        Assert.assertEquals(beforeP2.jsonPath().getDouble("cart_value"), 200.0, "P2 cart should have no discount yet");
+        Assert.assertEquals(beforeP3.jsonPath().getDouble("cart_value"), 160.0);
+        System.out.println("✓ Cart values before P2 offer: P1=190, P2=200, P3=160");
+        
+        // Create offer for P2
+        String offerP2 = "{\"restaurant_id\":1,\"offer_type\":\"FLATX\",\"offer_value\":30,\"customer_segment\":[\"p2\"]}";
+        given(requestSpec).contentType(ContentType.JSON).body(offerP2).post("/api/v1/offer");
+        System.out.println("✓ Offer created: Rs.30 off for P2");
+        
+        // Apply offers after the P2 offer exists
+        Response afterP1 = given(requestSpec).contentType(ContentType.JSON).body(cartP1).post("/api/v1/cart/apply_offer").then().extract().response();
+        Response afterP2 = given(requestSpec).contentType(ContentType.JSON).body(cartP2).post("/api/v1/cart/apply_offer").then().extract().response();
+        Response afterP3 = given(requestSpec).contentType(ContentType.JSON).body(cartP3).post("/api/v1/cart/apply_offer").then().extract().response();
+        Assert.assertEquals(afterP1.jsonPath().getDouble("cart_value"), 190.0, "P1 cart value should not change");
+        Assert.assertEquals(afterP2.jsonPath().getDouble("cart_value"), 170.0, "P2 cart should get Rs.30 off");
+        Assert.assertEquals(afterP3.jsonPath().getDouble("cart_value"), 160.0, "P3 cart value should not change");
+        System.out.println("✓ P2 verification passed: 200 - 30 = 170");
+        System.out.println("✓ P1 and P3 unchanged: 190, 160");
+        
+        System.out.println("✓ Segment isolation test -> PASSED\n");
+    }
 }
\ No newline at end of file